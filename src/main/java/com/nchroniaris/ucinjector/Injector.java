@@ -4,6 +4,7 @@ import com.google.gson.Gson;
 import com.nchroniaris.ucinjector.io.FakeNamesFile;
 import com.nchroniaris.ucinjector.io.UsercacheFile;
 import com.nchroniaris.ucinjector.model.User;
+import com.nchroniaris.ucinjector.uuid.UUIDCollisionGuard;
 import com.nchroniaris.ucinjector.uuid.UUIDManager;
 
 import java.time.ZonedDateTime;
@@ -31,6 +32,7 @@ public class Injector {
     public static class InjectorProperties {
 
         public boolean checkUsernames = false;
+        public boolean checkUUIDs = false;
 
         public InjectorProperties() {
         }
@@ -101,7 +103,7 @@ public class Injector {
     }
 
     /**
-     * This method scans the fake names list and figures out which to add and which to update. It then either modifies the entry in the list or it adds new entries. Usernames will be checked against Mojang's servers for conflicts with real usernames
+     * This method scans the fake names list and figures out which to add and which to update. It then either modifies the entry in the list or it adds new entries. New UUIDs are always checked against the UUIDs already in the usercache, and, if enabled in the properties, usernames and UUIDs will also be checked against Mojang's servers for conflicts with real players
      *
      * @param fakeNames A list of fake usernames to add/update.
      * @param userList  A list of users. This will be modified during the course of this method call.
@@ -112,6 +114,9 @@ public class Injector {
         // Therefore, we set it to a really long time from now to decrease the chances of this happening. HOWEVER, note that if you log in with the fake player the expiresOn tag will get reset to +1 month (regardless of its previous value) and you then have one month to run this program again before logging in with that player will no longer work.
         String newExpiry = ZonedDateTime.now().plusYears(2).format(Injector.FORMAT_EXPIRY);
 
+        // Every UUID in the usercache belongs to a player this server has already seen, so we can rule out those collisions locally. UUIDs generated during this run are added to it as we go.
+        UUIDCollisionGuard collisionGuard = new UUIDCollisionGuard(userList);
+
         // The goal of this program is to get every fake player name in the usercache with some uuid (can be random) and some expiry date.
         for (String fakeUser : fakeNames) {
 
@@ -145,11 +150,14 @@ public class Injector {
 
                 do {
 
-                    // Generate a new fake UUID. This is not guaranteed to be unique (contrary to the name :P) so we check it with Mojang's servers to make sure. 99.99999% of the time this loop will only execute once, but who knows, you might get lucky.
-                    // Note that we also check this regardless of the checkUsernames flag, because of the aforementioned luckiness, you could run into issues if you used a real UUID for a fake player. Maybe I am overreacting, but this shouldn't run too often anyway.
+                    // Generate a new fake UUID. This is not guaranteed to be unique (contrary to the name :P) so we check it against every UUID we know locally. 99.99999% of the time this loop will only execute once, but who knows, you might get lucky.
+                    // The local check is free, so it always runs. Asking Mojang's servers as well costs one API call per new user, so it only happens if the checkUUIDs flag is set. Note that the || short circuits, so we never ask Mojang about a UUID we already know is taken.
                     fakeUUID = UUIDManager.generateUUID();
 
-                } while (UUIDManager.uuidExists(fakeUUID));
+                } while (collisionGuard.isKnown(fakeUUID) || (this.properties.checkUUIDs && UUIDManager.uuidExists(fakeUUID)));
+
+                // Remember this UUID so that no other fake user in this run can be given the same one.
+                collisionGuard.add(fakeUUID);
 
                 // Add a new User with a fake UUID and a new expiry date. This is potentially inefficient because on the next run we have n + 1 users to search through but I don't imagine the use cases of this program involving adding a very large number of users to the usercache.
                 userList.add(new User(
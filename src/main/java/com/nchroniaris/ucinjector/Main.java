@@ -8,7 +8,7 @@ import java.util.List;
 
 public class Main {
 
-    public static final String USAGE_INFORMATION = "java -jar usercache-injector.jar [-h|--help] [-c|--check-usernames] <usercache.json> [fake_name_list]";
+    public static final String USAGE_INFORMATION = "java -jar usercache-injector.jar [-h|--help] [-c|--check-usernames] [-u|--check-uuids] <usercache.json> [fake_name_list]";
 
     /**
      * Uses the location of the Main class as a reference to obtain the path to the directory that encloses the jar file being run. We must decode the path as a URL as the presence of any spaces in the path will result in a `%20` instead of an actual space.
@@ -96,6 +96,12 @@ public class Main {
                     properties.checkUsernames = true;
                     break;
 
+                // Checking generated UUIDs with Mojang is also disabled by default, as they are already checked against the UUIDs in the usercache. This enables the extra API call for every new fake user.
+                case "-u":
+                case "--check-uuids":
+                    properties.checkUUIDs = true;
+                    break;
+
                 // Default case is to add the arguments to the augmented arg list
                 default:
                     augmentedArgs.add(arg);
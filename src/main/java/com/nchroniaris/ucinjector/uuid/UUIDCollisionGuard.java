@@ -0,0 +1,70 @@
+package com.nchroniaris.ucinjector.uuid;
+
+import com.nchroniaris.ucinjector.model.User;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * This class keeps track of every UUID known locally, which is every UUID in the usercache plus every UUID generated during this run. It lets us rule out collisions with real players the server has already seen without asking Mojang.
+ */
+public class UUIDCollisionGuard {
+
+    private final Set<String> knownUUIDs;
+
+    /**
+     * Constructs a guard that knows about every UUID in the user list given.
+     *
+     * @param userList A list of users, usually deserialized from <code>usercache.json</code>. It is not modified.
+     */
+    public UUIDCollisionGuard(List<User> userList) {
+
+        if (userList == null)
+            throw new IllegalArgumentException("The argument userList cannot be null!");
+
+        this.knownUUIDs = new HashSet<>(userList.size() * 2);
+
+        for (User user : userList)
+            this.add(user.uuid);
+
+    }
+
+    /**
+     * Checks if a UUID is already known locally.
+     *
+     * @param uuid A Minecraft UUID, can be stylized (with dashes) or not
+     * @return true if the UUID is in the usercache or has been added during this run, false otherwise
+     */
+    public boolean isKnown(String uuid) {
+
+        return uuid != null && this.knownUUIDs.contains(UUIDCollisionGuard.normalize(uuid));
+
+    }
+
+    /**
+     * Marks a UUID as known, so that it will not be handed out again during this run. Null UUIDs (e.g. from a malformed usercache entry) are ignored.
+     *
+     * @param uuid A Minecraft UUID, can be stylized (with dashes) or not
+     */
+    public void add(String uuid) {
+
+        if (uuid != null)
+            this.knownUUIDs.add(UUIDCollisionGuard.normalize(uuid));
+
+    }
+
+    /**
+     * Strips the dashes and lowercases the UUID, so that the stylized and plain forms of the same UUID compare equal.
+     *
+     * @param uuid A Minecraft UUID, can be stylized (with dashes) or not
+     * @return The UUID as 32 lowercase hex characters
+     */
+    private static String normalize(String uuid) {
+
+        return uuid.replace("-", "").toLowerCase(Locale.ROOT);
+
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.nchroniaris.ucinjector.scaling;
+
+import com.nchroniaris.ucinjector.Main;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This is the runner for the scaling report. For every size given, it generates a synthetic usercache and fake name list with <code>SyntheticInputGenerator</code>, runs the end-to-end CLI on them in a fresh JVM, and prints the wall time, peak RSS and allocated bytes of that run. Comparing the growth of each column to the growth of the size shows where the program turns superlinear.
+ * <p>
+ * The CLI is always run without <code>-c</code> or <code>-u</code>, so that none of the username or UUID checks make calls to Mojang. Network latency would otherwise dominate the wall time and hide how the code itself scales. If a run writes anything to its log (e.g. a connection warning), the report flags that run as suspect.
+ * <p>
+ * Usage: <code>./gradlew scalingReport -Psizes=1000,10000,100000</code>. The ratios can be tuned with the system properties <code>scaling.overlap</code>, <code>scaling.expired</code>, <code>scaling.duplicates</code> and <code>scaling.names</code> (fake names as a fraction of the usercache size).
+ */
+public class ScalingReport {
+
+    private static final int[] DEFAULT_SIZES = {1000, 2000, 4000, 8000, 16000};
+
+    // The probe prints its measurements on a line with this prefix, so that we can tell it apart from anything the program itself prints.
+    private static final String PROBE_MARKER = "[SCALING]";
+
+    /**
+     * This is the entry point of the child JVM. It runs the CLI exactly as a user would, and then reports how much the main thread allocated and the peak resident set size of the process.
+     */
+    public static class Probe {
+
+        public static void main(String[] args) {
+
+            Main.main(args);
+
+            // Main runs entirely on this thread, so the allocation of this thread is the allocation of the program.
+            long allocated = ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getThreadAllocatedBytes(Thread.currentThread().getId());
+
+            System.out.printf("%s %d %d%n", ScalingReport.PROBE_MARKER, allocated, Probe.readPeakRssKb());
+
+        }
+
+        /**
+         * Reads the high water mark of the resident set size from <code>/proc/self/status</code>. This is only available on Linux.
+         *
+         * @return The peak RSS in kB, or -1 if it could not be read.
+         */
+        private static long readPeakRssKb() {
+
+            try (BufferedReader reader = new BufferedReader(new FileReader("/proc/self/status"))) {
+
+                String line;
+
+                while ((line = reader.readLine()) != null) {
+
+                    // The line looks like "VmHWM:     123456 kB"
+                    if (line.startsWith("VmHWM:"))
+                        return Long.parseLong(line.substring("VmHWM:".length()).replace("kB", "").trim());
+
+                }
+
+            } catch (IOException | NumberFormatException e) {
+
+                // Not on Linux (or something odd happened), so there is no peak RSS to report.
+
+            }
+
+            return -1;
+
+        }
+
+    }
+
+    /**
+     * Holds the measurements of a single run.
+     */
+    private static class Result {
+
+        int size;
+        int fakeNameLines;
+        long wallMs;
+        boolean quiet;
+        long peakRssKb;
+        long allocatedBytes;
+
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+
+        int[] sizes = ScalingReport.DEFAULT_SIZES;
+
+        if (args.length > 0) {
+
+            sizes = new int[args.length];
+
+            for (int i = 0; i < args.length; i++)
+                sizes[i] = Integer.parseInt(args[i].trim());
+
+        }
+
+        double namesRatio = Double.parseDouble(System.getProperty("scaling.names", "1.0"));
+
+        File workingDir = Files.createTempDirectory("ucinjector-scaling").toFile();
+        System.out.printf("Writing generated inputs and logs to %s%n", workingDir);
+
+        List<Result> results = new ArrayList<>();
+
+        for (int size : sizes) {
+
+            SyntheticInputGenerator generator = new SyntheticInputGenerator();
+
+            generator.usercacheEntries = size;
+            generator.fakeNames = (int) Math.round(size * namesRatio);
+            generator.overlapRatio = Double.parseDouble(System.getProperty("scaling.overlap", String.valueOf(generator.overlapRatio)));
+            generator.expiredRatio = Double.parseDouble(System.getProperty("scaling.expired", String.valueOf(generator.expiredRatio)));
+            generator.duplicateRate = Double.parseDouble(System.getProperty("scaling.duplicates", String.valueOf(generator.duplicateRate)));
+
+            File sizeDir = new File(workingDir, String.valueOf(size));
+            generator.generate(sizeDir);
+
+            Result result = ScalingReport.run(sizeDir);
+            result.size = size;
+            result.fakeNameLines = generator.fakeNames + (int) Math.round(generator.fakeNames * generator.duplicateRate);
+
+            results.add(result);
+
+        }
+
+        ScalingReport.printReport(results);
+
+    }
+
+    /**
+     * Runs the CLI in a new JVM on the generated files in the directory given. The program's own output (including any warnings) goes to <code>run.log</code> in the same directory.
+     *
+     * @param sizeDir The directory holding <code>usercache.json</code> and <code>fakenames.txt</code>.
+     * @return The measurements of the run. The size fields are left for the caller to fill in.
+     */
+    private static Result run(File sizeDir) throws IOException, InterruptedException {
+
+        String javaBin = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+
+        File log = new File(sizeDir, "run.log");
+
+        // Note that we deliberately don't pass -c or -u here, as both would add one Mojang API call per fake user to the measurement.
+        ProcessBuilder builder = new ProcessBuilder(
+                javaBin,
+                "-cp",
+                System.getProperty("java.class.path"),
+                Probe.class.getName(),
+                new File(sizeDir, "usercache.json").getPath(),
+                new File(sizeDir, "fakenames.txt").getPath()
+        );
+
+        builder.redirectError(log);
+
+        Result result = new Result();
+        result.peakRssKb = -1;
+        result.allocatedBytes = -1;
+
+        long start = System.nanoTime();
+        Process process = builder.start();
+
+        // We have to drain stdout while the process runs, or it may block on a full pipe.
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                if (line.startsWith(ScalingReport.PROBE_MARKER)) {
+
+                    String[] fields = line.substring(ScalingReport.PROBE_MARKER.length()).trim().split(" ");
+                    result.allocatedBytes = Long.parseLong(fields[0]);
+                    result.peakRssKb = Long.parseLong(fields[1]);
+
+                }
+
+            }
+
+        }
+
+        int exitCode = process.waitFor();
+        result.wallMs = (System.nanoTime() - start) / 1_000_000;
+
+        if (exitCode != 0)
+            System.err.printf("[WARNING] The run in %s exited with code %d. See run.log in that directory for details.%n", sizeDir, exitCode);
+
+        // With the generated inputs and no network checks, the program has nothing to warn about. Anything in the log (most likely a failed call to Mojang) means the timing can't be trusted.
+        result.quiet = log.length() == 0;
+
+        if (!result.quiet)
+            System.err.printf("[WARNING] The run in %s wrote to its log, so its measurements may include network calls or other noise. See run.log in that directory for details.%n", sizeDir);
+
+        return result;
+
+    }
+
+    /**
+     * Prints one row per run. The growth columns compare each run with the previous one: if time or allocation grows faster than the size, the program is superlinear in that range. Runs that wrote to their log are marked with a <code>*</code>.
+     *
+     * @param results The measurements, in the order the sizes were given.
+     */
+    private static void printReport(List<Result> results) {
+
+        System.out.println();
+        System.out.printf("%10s %10s %10s %12s %14s %10s %10s %10s%n", "entries", "names", "wall ms", "peak RSS MB", "allocated MB", "size x", "wall x", "alloc x");
+
+        Result previous = null;
+
+        for (Result result : results) {
+
+            String sizeGrowth = "-";
+            String wallGrowth = "-";
+            String allocGrowth = "-";
+
+            if (previous != null && previous.size > 0 && previous.wallMs > 0 && previous.allocatedBytes > 0) {
+
+                sizeGrowth = String.format("%.2f", (double) result.size / previous.size);
+                wallGrowth = String.format("%.2f", (double) result.wallMs / previous.wallMs);
+                allocGrowth = String.format("%.2f", (double) result.allocatedBytes / previous.allocatedBytes);
+
+            }
+
+            System.out.printf(
+                    "%10d %10d %10s %12s %14s %10s %10s %10s%n",
+                    result.size,
+                    result.fakeNameLines,
+                    result.quiet ? String.valueOf(result.wallMs) : result.wallMs + "*",
+                    result.peakRssKb < 0 ? "n/a" : String.format("%.1f", result.peakRssKb / 1024.0),
+                    result.allocatedBytes < 0 ? "n/a" : String.format("%.1f", result.allocatedBytes / (1024.0 * 1024.0)),
+                    sizeGrowth,
+                    wallGrowth,
+                    allocGrowth
+            );
+
+            previous = result;
+
+        }
+
+        for (Result result : results) {
+
+            if (!result.quiet) {
+                System.out.println();
+                System.out.println("* This run wrote to its log, so its wall time may include network calls or other noise.");
+                break;
+            }
+
+        }
+
+    }
+
+}
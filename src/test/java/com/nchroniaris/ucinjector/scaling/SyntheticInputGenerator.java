@@ -0,0 +1,174 @@
+package com.nchroniaris.ucinjector.scaling;
+
+import com.google.gson.Gson;
+import com.nchroniaris.ucinjector.model.User;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * This class generates synthetic (but valid) <code>usercache.json</code> files and fake name lists of a configurable size. It is meant to give us realistic large inputs so that we can see how the injector scales. All the values are set to default upon instantiation, and every output is deterministic for a given seed.
+ */
+public class SyntheticInputGenerator {
+
+    // The date format found in usercache.json. This mirrors the one in Injector, which is private.
+    private static final DateTimeFormatter FORMAT_EXPIRY = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss xx");
+
+    // Same characters that are allowed in a Minecraft username, see FakeNamesFile.readNames()
+    private static final String USERNAME_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789_";
+
+    // Number of entries in the generated usercache.json
+    public int usercacheEntries = 1000;
+
+    // Number of distinct names in the generated fake name list (before duplicates are added)
+    public int fakeNames = 100;
+
+    // Fraction [0, 1] of the distinct fake names that already exist in the usercache. These are the ones the injector only has to refresh.
+    public double overlapRatio = 0.5;
+
+    // Fraction [0, 1] of the usercache entries whose expiresOn tag is already in the past.
+    public double expiredRatio = 0.1;
+
+    // Extra lines in the fake name list that repeat a name already in the list, as a fraction of the distinct names. A rate of 0.25 on 100 names gives 125 lines.
+    public double duplicateRate = 0.0;
+
+    // Seed for every random choice, so that the same properties always produce the same files
+    public long seed = 0xC0FFEE;
+
+    public SyntheticInputGenerator() {
+    }
+
+    /**
+     * Writes a <code>usercache.json</code> and a <code>fakenames.txt</code> into the directory given, creating it if necessary. Existing files with the same names are overwritten.
+     *
+     * @param directory The directory that will hold both generated files.
+     * @throws IOException If either of the files could not be written.
+     */
+    public void generate(File directory) throws IOException {
+
+        this.validate();
+
+        if (!directory.isDirectory() && !directory.mkdirs())
+            throw new IOException(String.format("Could not create the output directory (%s)!", directory));
+
+        Random random = new Random(this.seed);
+
+        ZonedDateTime now = ZonedDateTime.now();
+        String validExpiry = now.plusMonths(1).format(SyntheticInputGenerator.FORMAT_EXPIRY);
+        String expiredExpiry = now.minusMonths(1).format(SyntheticInputGenerator.FORMAT_EXPIRY);
+
+        // Every name is made unique by its index, so we don't have to keep track of a set of used names. The random suffix is only there so that the names don't all share a long common prefix, which would make String.equals() unrealistically slow.
+        List<User> userList = new ArrayList<>(this.usercacheEntries);
+
+        for (int i = 0; i < this.usercacheEntries; i++) {
+
+            String expiry = random.nextDouble() < this.expiredRatio ? expiredExpiry : validExpiry;
+            userList.add(new User(SyntheticInputGenerator.uniqueName('u', i, random), SyntheticInputGenerator.randomUUID(random), expiry));
+
+        }
+
+        // The overlapping names are picked from the usercache at random, the rest are brand new names that the injector will have to add.
+        int overlapping = Math.min((int) Math.round(this.fakeNames * this.overlapRatio), this.usercacheEntries);
+
+        List<User> shuffledUsers = new ArrayList<>(userList);
+        Collections.shuffle(shuffledUsers, random);
+
+        List<String> nameList = new ArrayList<>(this.fakeNames);
+
+        for (int i = 0; i < overlapping; i++)
+            nameList.add(shuffledUsers.get(i).name);
+
+        for (int i = overlapping; i < this.fakeNames; i++)
+            nameList.add(SyntheticInputGenerator.uniqueName('f', i, random));
+
+        // Duplicates repeat names already in the list. We only draw from the distinct names so the rate stays exact.
+        int duplicates = nameList.isEmpty() ? 0 : (int) Math.round(this.fakeNames * this.duplicateRate);
+
+        for (int i = 0; i < duplicates; i++)
+            nameList.add(nameList.get(random.nextInt(this.fakeNames)));
+
+        Collections.shuffle(nameList, random);
+
+        // usercache.json is always one line, so we serialize it the same way the Injector does.
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(directory, "usercache.json"), false))) {
+
+            writer.write(new Gson().toJson(userList));
+
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(new File(directory, "fakenames.txt"), false))) {
+
+            writer.write("# Generated by SyntheticInputGenerator");
+            writer.newLine();
+
+            for (String name : nameList) {
+                writer.write(name);
+                writer.newLine();
+            }
+
+        }
+
+    }
+
+    /**
+     * Checks that all the properties are within their allowed range.
+     */
+    private void validate() {
+
+        if (this.usercacheEntries < 0 || this.fakeNames < 0)
+            throw new IllegalArgumentException("The number of usercache entries and fake names cannot be negative!");
+
+        if (this.overlapRatio < 0 || this.overlapRatio > 1 || this.expiredRatio < 0 || this.expiredRatio > 1)
+            throw new IllegalArgumentException("The overlap and expired ratios must be in the range [0, 1]!");
+
+        if (this.duplicateRate < 0)
+            throw new IllegalArgumentException("The duplicate rate cannot be negative!");
+
+    }
+
+    /**
+     * Builds a valid username (3-16 characters, alphanumeric with underscores) that is unique for every (prefix, index) pair. The index is written in base 36 after the prefix, and the rest of the name is padded with random characters behind an underscore separator.
+     *
+     * @param prefix A single character that keeps the usercache names and the new fake names from colliding.
+     * @param index  A non-negative index that makes the name unique.
+     * @param random The random source for the padding.
+     * @return A valid, unique Minecraft username.
+     */
+    private static String uniqueName(char prefix, int index, Random random) {
+
+        StringBuilder builder = new StringBuilder(16);
+
+        builder.append(prefix).append(Integer.toString(index, 36)).append('_');
+
+        // Pad to a random length between the current length and 16. Neither the prefix nor the base 36 index can contain an underscore, so the separator keeps the names unique.
+        int length = builder.length() + random.nextInt(16 - builder.length() + 1);
+
+        while (builder.length() < length)
+            builder.append(SyntheticInputGenerator.USERNAME_CHARS.charAt(random.nextInt(SyntheticInputGenerator.USERNAME_CHARS.length())));
+
+        return builder.toString();
+
+    }
+
+    /**
+     * Generates a stylized (8-4-4-4-12) UUID string, the same format as <code>UUIDManager.generateUUID()</code>, but from a seeded random source.
+     *
+     * @param random The random source.
+     * @return A random, stylized UUID string.
+     */
+    private static String randomUUID(Random random) {
+
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.nchroniaris.ucinjector.uuid;
+
+import com.nchroniaris.ucinjector.model.User;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class UUIDCollisionGuardTest {
+
+    @Test
+    public void dashedUUIDMatchesUndashedMixedCase() {
+
+        UUIDCollisionGuard guard = new UUIDCollisionGuard(Collections.singletonList(
+                new User("Player", "069a79f4-44e9-4726-a5be-fca90e38aaf5", "2030-01-01 00:00:00 +0000")
+        ));
+
+        // Same UUID, but without dashes and with some of the hex digits in uppercase
+        Assert.assertTrue(guard.isKnown("069A79F444E94726a5beFCA90E38AAF5"));
+        Assert.assertTrue(guard.isKnown("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+
+        Assert.assertFalse(guard.isKnown("069a79f4-44e9-4726-a5be-fca90e38aaf6"));
+
+    }
+
+    @Test
+    public void addedUUIDStaysKnown() {
+
+        UUIDCollisionGuard guard = new UUIDCollisionGuard(new ArrayList<>());
+        String uuid = UUIDManager.generateUUID();
+
+        Assert.assertFalse(guard.isKnown(uuid));
+
+        guard.add(uuid);
+
+        // Checked more than once, as the guard is consulted for every fake user in a run
+        Assert.assertTrue(guard.isKnown(uuid));
+        Assert.assertTrue(guard.isKnown(uuid.replace("-", "").toUpperCase()));
+        Assert.assertTrue(guard.isKnown(uuid));
+
+    }
+
+    @Test
+    public void nullUUIDIsIgnored() {
+
+        List<User> userList = new ArrayList<>();
+        userList.add(new User("Malformed", null, "2030-01-01 00:00:00 +0000"));
+        userList.add(new User("Player", "069a79f4-44e9-4726-a5be-fca90e38aaf5", "2030-01-01 00:00:00 +0000"));
+
+        UUIDCollisionGuard guard = new UUIDCollisionGuard(userList);
+
+        Assert.assertFalse(guard.isKnown(null));
+        Assert.assertTrue(guard.isKnown("069a79f4-44e9-4726-a5be-fca90e38aaf5"));
+
+        // Adding a null should be a no-op, not a crash
+        guard.add(null);
+        Assert.assertFalse(guard.isKnown(null));
+
+    }
+
+}